@@ -1,9 +1,11 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.util.Random;
 
 public class App {
+    static Leaderboard leaderboard;
 
     public static void main(String[] args) {
         int startingRows = 8;
@@ -15,7 +17,15 @@ public class App {
             }
         }
 
+        try {
+            leaderboard = Leaderboard.open(Leaderboard.defaultFile());
+        } catch (IOException e) {
+            System.err.println("Leaderboard unavailable: " + e.getMessage());
+        }
+
         int finalStartingRows = startingRows;
+        // Decode while the title and instruction screens are up
+        Assets.preload(Minesweeper.tileSizeFor(startingRows));
         SwingUtilities.invokeLater(() -> {
             showTitleScreen(() -> showInstructionScreen(() -> startGame(finalStartingRows)));
         });
@@ -33,6 +43,7 @@ public class App {
                     System.exit(0);
                 }
             });
+            Assets.preloadScaled(Minesweeper.tileSizeFor(rows + 2));
         });
     }
 
@@ -58,6 +69,7 @@ public class App {
         starfield.add(instructionLabel, BorderLayout.SOUTH);
 
         titleFrame.add(starfield);
+        suspendWhileInactive(titleFrame, starfield::pauseAnimation, starfield::resumeAnimation);
         titleFrame.setFocusable(true);
         titleFrame.setVisible(true);
         titleFrame.requestFocusInWindow();
@@ -73,6 +85,31 @@ public class App {
         });
     }
 
+    /** Runs pause when the window is minimised or loses focus, and resume when it comes back. */
+    static void suspendWhileInactive(Window window, Runnable pause, Runnable resume) {
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowIconified(WindowEvent e) {
+                pause.run();
+            }
+
+            @Override
+            public void windowDeactivated(WindowEvent e) {
+                pause.run();
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                resume.run();
+            }
+
+            @Override
+            public void windowActivated(WindowEvent e) {
+                resume.run();
+            }
+        });
+    }
+
     static void showInstructionScreen(Runnable onDone) {
         JFrame frame = new JFrame("Instructions");
         frame.setSize(800, 600);
@@ -82,6 +119,7 @@ public class App {
 
         InstructionScreen instructionPanel = new InstructionScreen(onDone);
         frame.add(instructionPanel);
+        suspendWhileInactive(frame, instructionPanel::pauseAnimation, instructionPanel::resumeAnimation);
         frame.setVisible(true);
         instructionPanel.requestFocusInWindow();
     }
@@ -127,6 +165,7 @@ public class App {
 
         private Star[] stars;
         private Timer starTimer;
+        private boolean finished = false;
 
         public InstructionScreen(Runnable onDone) {
             this.onDone = onDone;
@@ -163,7 +202,10 @@ public class App {
 
             lineTimer = new Timer(600, e -> {
                 currentLine++;
-                if (currentLine > lines.length) currentLine = lines.length;
+                if (currentLine >= lines.length) {
+                    currentLine = lines.length;
+                    lineTimer.stop();
+                }
                 repaint();
             });
             lineTimer.start();
@@ -172,6 +214,7 @@ public class App {
                 @Override
                 public void keyPressed(KeyEvent e) {
                     if (e.getKeyCode() == KeyEvent.VK_SPACE) {
+                        finished = true;
                         lineTimer.stop();
                         starTimer.stop();
                         Window w = SwingUtilities.getWindowAncestor(InstructionScreen.this);
@@ -182,9 +225,19 @@ public class App {
             });
         }
 
+        void pauseAnimation() {
+            starTimer.stop();
+            lineTimer.stop();
+        }
+
+        void resumeAnimation() {
+            if (finished) return;
+            if (!starTimer.isRunning()) starTimer.start();
+            if (currentLine < lines.length && !lineTimer.isRunning()) lineTimer.start();
+        }
+
         private Image loadImage(String path) {
-            ImageIcon icon = new ImageIcon(path);
-            return icon.getImage();
+            return Assets.image(path);
         }
 
         private void initStars(int count) {
@@ -285,7 +338,8 @@ public class App {
         }
     }
     
-    static void showGameOverScreen(boolean playerWon, int rows) {
+    /** {@code level} and {@code boardSize} are the board just played, whose best times are listed. */
+    static void showGameOverScreen(boolean playerWon, int rows, int level, int boardSize) {
     	JFrame gameOverFrame = new JFrame(playerWon ? "You Win!" : "Game Over");
     	gameOverFrame.setSize(800, 600);
     	gameOverFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -305,10 +359,21 @@ public class App {
     	instructionLabel.setForeground(Color.LIGHT_GRAY);
     	instructionLabel.setOpaque(false);
 
+    	JLabel scoresLabel = new JLabel(bestTimesText(level, boardSize), SwingConstants.CENTER);
+    	scoresLabel.setFont(new Font("Consolas", Font.PLAIN, 18));
+    	scoresLabel.setForeground(Color.WHITE);
+    	scoresLabel.setOpaque(false);
+
+    	JPanel bottomPanel = new JPanel(new BorderLayout());
+    	bottomPanel.setOpaque(false);
+    	bottomPanel.add(scoresLabel, BorderLayout.CENTER);
+    	bottomPanel.add(instructionLabel, BorderLayout.SOUTH);
+
     	backgroundPanel.add(mainLabel, BorderLayout.CENTER);
-    	backgroundPanel.add(instructionLabel, BorderLayout.SOUTH);
+    	backgroundPanel.add(bottomPanel, BorderLayout.SOUTH);
 
     	gameOverFrame.setContentPane(backgroundPanel);
+    	suspendWhileInactive(gameOverFrame, backgroundPanel::pauseAnimation, backgroundPanel::resumeAnimation);
     	gameOverFrame.setVisible(true);
     	backgroundPanel.requestFocusInWindow();
 
@@ -326,11 +391,27 @@ public class App {
     	backgroundPanel.requestFocusInWindow();
 	}
 
+    /** Top five results for a board as HTML, or an empty string when there are none to show. */
+    static String bestTimesText(int level, int boardSize) {
+        if (leaderboard == null) return "";
+        Leaderboard.Entry[] best = leaderboard.top(level, boardSize, 5);
+        if (best.length == 0) return "";
+        StringBuilder text = new StringBuilder("<html><center>Best times, level " + level
+            + " (" + boardSize + "x" + boardSize + ")<br>");
+        for (Leaderboard.Entry entry : best) {
+            text.append("#").append(entry.rank).append("  ").append(entry.seconds).append("s");
+            if (entry.hintsUsed > 0) text.append("  (").append(entry.hintsUsed).append(" hints)");
+            text.append("<br>");
+        }
+        return text.append("</center></html>").toString();
+    }
+
     static class StarfieldPanel extends JPanel {
         private Star[] stars;
         private Timer timer;
         private Random rand = new Random();
         private boolean initialized = false;
+        private boolean paused = false;
 
         public StarfieldPanel() {
             setBackground(Color.BLACK);
@@ -346,7 +427,7 @@ public class App {
                             }
                             repaint();
                         });
-                        timer.start();
+                        if (!paused) timer.start();
                     }
                 }
             });
@@ -359,6 +440,16 @@ public class App {
             }
         }
 
+        void pauseAnimation() {
+            paused = true;
+            if (timer != null) timer.stop();
+        }
+
+        void resumeAnimation() {
+            paused = false;
+            if (timer != null && !timer.isRunning() && isDisplayable()) timer.start();
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
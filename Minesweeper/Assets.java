@@ -0,0 +1,118 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.*;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * Images bundled on the classpath, decoded off the EDT.
+ *
+ * {@link #preload} starts decoding every PNG on a small pool of daemon threads
+ * while the title screen is up. Lookups block only if a decode has not finished
+ * yet, which in practice means never by the time a board is built. Decoded and
+ * scaled images are converted to the screen's native format so drawing them
+ * is a straight blit.
+ */
+final class Assets {
+    static final String[] ALL = {
+        "back1.png", "back2.png", "back3.png",
+        "b1.png", "b2.png", "b3.png", "b4.png",
+        "flag.png", "bomb.png",
+        "one.png", "two.png", "three.png", "four.png",
+        "five.png", "six.png", "seven.png", "eight.png"
+    };
+
+    private static final Map<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private static final Map<String, CompletableFuture<BufferedImage>> scaled = new ConcurrentHashMap<>();
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+        Math.max(2, Runtime.getRuntime().availableProcessors() - 1),
+        r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+
+    private Assets() {}
+
+    /** Starts decoding every image, and scaling them for tiles of the given size. */
+    static void preload(int tileSize) {
+        for (String name : ALL) {
+            decodeAsync(name);
+        }
+        preloadScaled(tileSize);
+    }
+
+    /** Prepares tile-sized copies ahead of the board that will need them. */
+    static void preloadScaled(int tileSize) {
+        for (String name : ALL) {
+            scaleAsync(name, tileSize);
+        }
+    }
+
+    static Image image(String name) {
+        return await(decodeAsync(name));
+    }
+
+    static ImageIcon icon(String name, int size) {
+        return new ImageIcon(await(scaleAsync(name, size)));
+    }
+
+    private static CompletableFuture<BufferedImage> decodeAsync(String name) {
+        return images.computeIfAbsent(name, n -> CompletableFuture.supplyAsync(() -> decode(n), executor));
+    }
+
+    private static CompletableFuture<BufferedImage> scaleAsync(String name, int size) {
+        return scaled.computeIfAbsent(name + "@" + size,
+            k -> decodeAsync(name).thenApplyAsync(img -> scale(img, size), executor));
+    }
+
+    private static BufferedImage decode(String name) {
+        URL url = Assets.class.getResource("/" + name);
+        if (url == null) {
+            System.err.println("Missing image resource: " + name);
+        } else {
+            try {
+                BufferedImage img = ImageIO.read(url);
+                if (img != null) return toCompatible(img, img.getWidth(), img.getHeight());
+                System.err.println("Unsupported image format: " + name);
+            } catch (IOException e) {
+                System.err.println("Could not read " + name + ": " + e.getMessage());
+            }
+        }
+        return new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static BufferedImage scale(BufferedImage img, int size) {
+        return toCompatible(img, size, size);
+    }
+
+    private static BufferedImage toCompatible(BufferedImage img, int width, int height) {
+        BufferedImage out;
+        if (GraphicsEnvironment.isHeadless()) {
+            out = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        } else {
+            out = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice()
+                .getDefaultConfiguration()
+                .createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(img, 0, 0, width, height, null);
+        g.dispose();
+        return out;
+    }
+
+    private static BufferedImage await(CompletableFuture<BufferedImage> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Image loading failed", e.getCause());
+        }
+    }
+}
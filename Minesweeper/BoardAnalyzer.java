@@ -0,0 +1,390 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Difficulty scores for boards produced by {@link MineField}.
+ *
+ * <ul>
+ *   <li>3BV: the fewest clicks that clear the board, i.e. one per opening
+ *       (connected region of empty cells, found with union-find) plus one per
+ *       numbered cell that no opening uncovers.</li>
+ *   <li>Openings: the number of those empty regions.</li>
+ *   <li>Forced guesses: how often a solver using single-cell and subset rules
+ *       gets stuck before the board is clear, starting from the first click.</li>
+ * </ul>
+ *
+ * An analyzer owns its scratch arrays and is not thread-safe; {@link #analyzeCorpus}
+ * gives each fork-join leaf its own.
+ */
+final class BoardAnalyzer {
+    private static final byte HIDDEN = 0;
+    private static final byte REVEALED = 1;
+    private static final byte FLAGGED = 2;
+
+    private final Topology topology;
+    private final int mineCount;
+    private final int[] start;
+    private final int[] neighbours;
+
+    private final boolean[] mines;
+    private final int[] adjacent;
+    private final int[] parent;
+    private final byte[] state;
+    private final int[] stack;
+    private final int[] queue;
+    private final boolean[] queued;
+    private int queueHead;
+    private int queueSize;
+    private int revealed;
+
+    int threeBV;
+    int openings;
+    int forcedGuesses;
+
+    /** Scores for a batch of boards, indexed like the seeds that produced them. */
+    static final class Corpus {
+        final long[] seeds;
+        final int[] threeBV;
+        final int[] openings;
+        final int[] forcedGuesses;
+
+        Corpus(long[] seeds) {
+            this.seeds = seeds;
+            this.threeBV = new int[seeds.length];
+            this.openings = new int[seeds.length];
+            this.forcedGuesses = new int[seeds.length];
+        }
+    }
+
+    BoardAnalyzer(Topology topology, int mineCount) {
+        this.topology = topology;
+        this.mineCount = mineCount;
+        this.start = topology.start;
+        this.neighbours = topology.neighbours;
+        int cells = topology.cellCount();
+        mines = new boolean[cells];
+        adjacent = new int[cells];
+        parent = new int[cells];
+        state = new byte[cells];
+        stack = new int[cells];
+        queue = new int[cells];
+        queued = new boolean[cells];
+    }
+
+    /** Generates the board for {@code seed} and scores it into the public fields. */
+    void analyze(long seed, int firstCell) {
+        MineField.place(topology, mineCount, seed, firstCell, mines);
+        MineField.countAdjacent(topology, mines, adjacent);
+        countClicks();
+        solve(firstCell);
+    }
+
+    /** Scores every seed in parallel on the common fork-join pool. */
+    static Corpus analyzeCorpus(Topology topology, int mineCount, int firstCell, long[] seeds) {
+        Corpus corpus = new Corpus(seeds);
+        ForkJoinPool.commonPool().invoke(new CorpusTask(topology, mineCount, firstCell, corpus, 0, seeds.length));
+        return corpus;
+    }
+
+    private static final class CorpusTask extends RecursiveAction {
+        private static final int LEAF_SIZE = 256;
+
+        private final Topology topology;
+        private final int mineCount;
+        private final int firstCell;
+        private final Corpus corpus;
+        private final int from;
+        private final int to;
+
+        CorpusTask(Topology topology, int mineCount, int firstCell, Corpus corpus, int from, int to) {
+            this.topology = topology;
+            this.mineCount = mineCount;
+            this.firstCell = firstCell;
+            this.corpus = corpus;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new CorpusTask(topology, mineCount, firstCell, corpus, from, mid),
+                          new CorpusTask(topology, mineCount, firstCell, corpus, mid, to));
+                return;
+            }
+            BoardAnalyzer analyzer = new BoardAnalyzer(topology, mineCount);
+            for (int i = from; i < to; i++) {
+                analyzer.analyze(corpus.seeds[i], firstCell);
+                corpus.threeBV[i] = analyzer.threeBV;
+                corpus.openings[i] = analyzer.openings;
+                corpus.forcedGuesses[i] = analyzer.forcedGuesses;
+            }
+        }
+    }
+
+    // 3BV and openings
+
+    private void countClicks() {
+        int cells = mines.length;
+        for (int i = 0; i < cells; i++) parent[i] = i;
+
+        for (int i = 0; i < cells; i++) {
+            if (!isEmpty(i)) continue;
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                int n = neighbours[k];
+                if (isEmpty(n)) union(i, n);
+            }
+        }
+
+        openings = 0;
+        int isolated = 0;
+        for (int i = 0; i < cells; i++) {
+            if (mines[i]) continue;
+            if (adjacent[i] == 0) {
+                if (find(i) == i) openings++;
+                continue;
+            }
+            boolean uncoveredByOpening = false;
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                if (isEmpty(neighbours[k])) {
+                    uncoveredByOpening = true;
+                    break;
+                }
+            }
+            if (!uncoveredByOpening) isolated++;
+        }
+        threeBV = openings + isolated;
+    }
+
+    private boolean isEmpty(int cell) {
+        return !mines[cell] && adjacent[cell] == 0;
+    }
+
+    private int find(int cell) {
+        while (parent[cell] != cell) {
+            parent[cell] = parent[parent[cell]];
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        // Smaller index as root keeps the "root == self" count above stable
+        if (ra < rb) parent[rb] = ra;
+        else if (rb < ra) parent[ra] = rb;
+    }
+
+    // Solver
+
+    private void solve(int firstCell) {
+        Arrays.fill(state, HIDDEN);
+        Arrays.fill(queued, false);
+        queueHead = 0;
+        queueSize = 0;
+        revealed = 0;
+        forcedGuesses = 0;
+        int safeCells = mines.length - mineCount;
+
+        reveal(firstCell);
+        while (revealed < safeCells) {
+            drainSinglePoint();
+            if (revealed >= safeCells) break;
+            if (applySubsetRule()) continue;
+            forcedGuesses++;
+            reveal(pickGuess());
+        }
+    }
+
+    /** Applies "all mines found" and "all hidden are mines" to every queued number. */
+    private void drainSinglePoint() {
+        while (queueSize > 0) {
+            int cell = queue[queueHead];
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
+            queued[cell] = false;
+
+            int hidden = 0;
+            int flagged = 0;
+            for (int k = start[cell]; k < start[cell + 1]; k++) {
+                byte s = state[neighbours[k]];
+                if (s == HIDDEN) hidden++;
+                else if (s == FLAGGED) flagged++;
+            }
+            if (hidden == 0) continue;
+
+            if (flagged == adjacent[cell]) {
+                for (int k = start[cell]; k < start[cell + 1]; k++) {
+                    if (state[neighbours[k]] == HIDDEN) reveal(neighbours[k]);
+                }
+            } else if (flagged + hidden == adjacent[cell]) {
+                for (int k = start[cell]; k < start[cell + 1]; k++) {
+                    if (state[neighbours[k]] == HIDDEN) flag(neighbours[k]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Looks for two numbers a and b where a's hidden neighbours are a subset of b's;
+     * the cells only b sees then hold exactly need(b) - need(a) mines.
+     */
+    private boolean applySubsetRule() {
+        for (int a = 0; a < mines.length; a++) {
+            if (state[a] != REVEALED || adjacent[a] == 0) continue;
+            int hiddenA = countState(a, HIDDEN);
+            if (hiddenA == 0) continue;
+            int needA = adjacent[a] - countState(a, FLAGGED);
+
+            for (int k = start[a]; k < start[a + 1]; k++) {
+                int h = neighbours[k];
+                if (state[h] != HIDDEN) continue;
+                for (int j = start[h]; j < start[h + 1]; j++) {
+                    int b = neighbours[j];
+                    if (b == a || state[b] != REVEALED || adjacent[b] == 0) continue;
+                    if (!hiddenSubset(a, b)) continue;
+
+                    int extra = countState(b, HIDDEN) - hiddenA;
+                    if (extra == 0) continue;
+                    int needB = adjacent[b] - countState(b, FLAGGED);
+                    int diff = needB - needA;
+                    if (diff != 0 && diff != extra) continue;
+
+                    for (int m = start[b]; m < start[b + 1]; m++) {
+                        int cell = neighbours[m];
+                        if (state[cell] != HIDDEN || isNeighbour(a, cell)) continue;
+                        if (diff == 0) reveal(cell);
+                        else flag(cell);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** Cheapest way forward when logic runs out: a safe cell next to revealed ground. */
+    private int pickGuess() {
+        int fallback = -1;
+        for (int cell = 0; cell < mines.length; cell++) {
+            if (state[cell] != HIDDEN || mines[cell]) continue;
+            for (int k = start[cell]; k < start[cell + 1]; k++) {
+                if (state[neighbours[k]] == REVEALED) return cell;
+            }
+            if (fallback < 0) fallback = cell;
+        }
+        return fallback;
+    }
+
+    private void reveal(int cell) {
+        if (state[cell] != HIDDEN) return;
+        int top = 0;
+        state[cell] = REVEALED;
+        revealed++;
+        stack[top++] = cell;
+        while (top > 0) {
+            int current = stack[--top];
+            touched(current);
+            if (adjacent[current] != 0) continue;
+            for (int k = start[current]; k < start[current + 1]; k++) {
+                int n = neighbours[k];
+                if (state[n] == HIDDEN) {
+                    state[n] = REVEALED;
+                    revealed++;
+                    stack[top++] = n;
+                }
+            }
+        }
+    }
+
+    private void flag(int cell) {
+        state[cell] = FLAGGED;
+        touched(cell);
+    }
+
+    /** Queues the cell and its revealed neighbours, whose constraints may have changed. */
+    private void touched(int cell) {
+        enqueue(cell);
+        for (int k = start[cell]; k < start[cell + 1]; k++) {
+            enqueue(neighbours[k]);
+        }
+    }
+
+    private void enqueue(int cell) {
+        if (queued[cell] || state[cell] != REVEALED || adjacent[cell] == 0) return;
+        queued[cell] = true;
+        queue[(queueHead + queueSize) % queue.length] = cell;
+        queueSize++;
+    }
+
+    private int countState(int cell, byte s) {
+        int count = 0;
+        for (int k = start[cell]; k < start[cell + 1]; k++) {
+            if (state[neighbours[k]] == s) count++;
+        }
+        return count;
+    }
+
+    private boolean hiddenSubset(int a, int b) {
+        for (int k = start[a]; k < start[a + 1]; k++) {
+            int cell = neighbours[k];
+            if (state[cell] == HIDDEN && !isNeighbour(b, cell)) return false;
+        }
+        return true;
+    }
+
+    private boolean isNeighbour(int cell, int other) {
+        for (int k = start[cell]; k < start[cell + 1]; k++) {
+            if (neighbours[k] == other) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Usage: java BoardAnalyzer [rows] [boards] [mines]
+     *
+     * Scores a random corpus for one board size and prints throughput and
+     * distribution summaries, for tuning mine density and time limits per level.
+     */
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int boards = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int mineCount = args.length > 2 ? Integer.parseInt(args[2]) : Minesweeper.mineCountFor(rows, rows);
+
+        Topology topology = Topology.square(rows, rows);
+        int firstCell = topology.index(rows / 2, rows / 2);
+        long[] seeds = new long[boards];
+        Random random = new Random();
+        for (int i = 0; i < boards; i++) seeds[i] = random.nextLong();
+
+        long t0 = System.nanoTime();
+        Corpus corpus = analyzeCorpus(topology, mineCount, firstCell, seeds);
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        int noGuess = 0;
+        for (int g : corpus.forcedGuesses) if (g == 0) noGuess++;
+
+        System.out.printf("%dx%d, %d mines: %d boards in %.2f s (%.0f boards/min)%n",
+            rows, rows, mineCount, boards, seconds, boards / seconds * 60);
+        System.out.println("3BV            " + summary(corpus.threeBV));
+        System.out.println("Openings       " + summary(corpus.openings));
+        System.out.println("Forced guesses " + summary(corpus.forcedGuesses));
+        System.out.printf("Guess-free     %.1f%%%n", 100.0 * noGuess / boards);
+    }
+
+    private static String summary(int[] values) {
+        if (values.length == 0) return "-";
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (int v : sorted) sum += v;
+        return String.format("mean %.2f  p10 %d  p50 %d  p90 %d  max %d",
+            (double) sum / sorted.length,
+            sorted[sorted.length / 10], sorted[sorted.length / 2],
+            sorted[sorted.length * 9 / 10], sorted[sorted.length - 1]);
+    }
+}
@@ -0,0 +1,213 @@
+import java.awt.*;
+import java.awt.event.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Board view drawn by its own thread into a {@link BufferStrategy} at a fixed
+ * frame rate, as an alternative to painting one Swing button per tile.
+ *
+ * The render thread never touches Swing. The EDT reports tile changes through
+ * {@link #setTile}, and once the current event has been handled publishes them
+ * as one immutable snapshot, so a frame shows either all of a flood reveal or
+ * none of it. Presses are forwarded back on the EDT through {@link Input}.
+ */
+final class BoardCanvas extends Canvas implements Runnable {
+    interface Input {
+        void press(int cell, int button);
+    }
+
+    private static final class Snapshot {
+        final Image[] images;
+        final boolean[] hidden;
+
+        Snapshot(Image[] images, boolean[] hidden) {
+            this.images = images;
+            this.hidden = hidden;
+        }
+    }
+
+    private static final Color HOVER = new Color(0, 0, 0, 50);
+
+    private final Input input;
+    private final int rows;
+    private final int cols;
+    private final int tileSize;
+    private final long periodNanos;
+    private final FrameStats stats;
+
+    // EDT-only working copy, published to the render thread as a snapshot
+    private final Image[] images;
+    private final boolean[] hidden;
+    private boolean dirty = false;
+    private boolean publishQueued = false;
+    private volatile Snapshot snapshot;
+
+    private volatile int hoveredCell = -1;
+    private volatile boolean running = false;
+    private volatile boolean suspended = false;
+    private Thread renderThread;
+
+    BoardCanvas(Input input, int rows, int cols, int tileSize, int fps, FrameStats stats) {
+        if (fps <= 0) throw new IllegalArgumentException("fps must be positive: " + fps);
+        this.input = input;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.periodNanos = 1_000_000_000L / fps;
+        this.stats = stats;
+        this.images = new Image[rows * cols];
+        this.hidden = new boolean[rows * cols];
+        this.snapshot = new Snapshot(images.clone(), hidden.clone());
+
+        setPreferredSize(new Dimension(cols * tileSize, rows * tileSize));
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true);
+
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int cell = cellAt(e.getX(), e.getY());
+                if (cell < 0) return;
+                if (stats != null) stats.inputReceived();
+                input.press(cell, e.getButton());
+                publish();
+                if (stats != null) stats.inputApplied();
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                hoveredCell = -1;
+            }
+        });
+        addMouseMotionListener(new MouseMotionAdapter() {
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                hoveredCell = cellAt(e.getX(), e.getY());
+            }
+        });
+    }
+
+    /** Records a tile's new look; must be called on the EDT. */
+    void setTile(int cell, Image image, boolean isHidden) {
+        images[cell] = image;
+        hidden[cell] = isHidden;
+        dirty = true;
+        if (!publishQueued) {
+            publishQueued = true;
+            EventQueue.invokeLater(() -> {
+                publishQueued = false;
+                publish();
+            });
+        }
+    }
+
+    private void publish() {
+        if (!dirty) return;
+        snapshot = new Snapshot(images.clone(), hidden.clone());
+        dirty = false;
+    }
+
+    /** Starts the render loop; the canvas must already be showing. */
+    void start() {
+        if (running) return;
+        createBufferStrategy(2);
+        running = true;
+        renderThread = new Thread(this, "board-render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    void stop() {
+        running = false;
+        Thread thread = renderThread;
+        if (thread != null && thread != Thread.currentThread()) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        renderThread = null;
+    }
+
+    /** Parks the render loop while the window is minimised or unfocused. */
+    void setSuspended(boolean suspended) {
+        this.suspended = suspended;
+        Thread thread = renderThread;
+        if (!suspended && thread != null) LockSupport.unpark(thread);
+    }
+
+    @Override
+    public void removeNotify() {
+        // The buffer strategy dies with the peer, so the loop must stop first
+        stop();
+        super.removeNotify();
+    }
+
+    @Override
+    public void run() {
+        BufferStrategy strategy = getBufferStrategy();
+        long next = System.nanoTime();
+        while (running) {
+            if (suspended) {
+                LockSupport.park(this);
+                // Time spent parked is not a missed deadline
+                next = System.nanoTime();
+                continue;
+            }
+
+            if (stats != null) stats.frameStarted();
+            do {
+                do {
+                    Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                    try {
+                        render(g);
+                    } finally {
+                        g.dispose();
+                    }
+                } while (strategy.contentsRestored());
+                strategy.show();
+            } while (strategy.contentsLost());
+            Toolkit.getDefaultToolkit().sync();
+            if (stats != null) stats.frameFinished();
+
+            next += periodNanos;
+            long now = System.nanoTime();
+            if (now > next) {
+                // Overran one or more frame slots; skip them rather than trying to catch up
+                long missed = (now - next) / periodNanos + 1;
+                if (stats != null) stats.framesDropped(missed);
+                next += missed * periodNanos;
+            }
+            LockSupport.parkNanos(next - now);
+        }
+    }
+
+    private void render(Graphics2D g) {
+        Snapshot frame = snapshot;
+        g.setColor(Color.BLACK);
+        g.fillRect(0, 0, cols * tileSize, rows * tileSize);
+        int hovered = hoveredCell;
+        for (int r = 0, cell = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++, cell++) {
+                int x = c * tileSize;
+                int y = r * tileSize;
+                Image img = frame.images[cell];
+                if (img != null) g.drawImage(img, x, y, tileSize, tileSize, null);
+                if (cell == hovered && frame.hidden[cell]) {
+                    g.setColor(HOVER);
+                    g.fillRect(x, y, tileSize, tileSize);
+                }
+            }
+        }
+    }
+
+    private int cellAt(int x, int y) {
+        int r = y / tileSize;
+        int c = x / tileSize;
+        if (x < 0 || y < 0 || r >= rows || c >= cols) return -1;
+        return r * cols + c;
+    }
+}
@@ -0,0 +1,57 @@
+import javax.swing.SwingUtilities;
+
+/**
+ * Usage: java BotRunner [rows] [games] [--swing]
+ *
+ * Benchmarks the reference bot headlessly and prints moves and games per
+ * second, or with --swing plays it on the normal game window instead.
+ */
+public class BotRunner {
+    public static void main(String[] args) {
+        int rows = 8;
+        int games = 1_000_000;
+        boolean swing = false;
+        int positional = 0;
+        for (String arg : args) {
+            if (arg.equals("--swing")) {
+                swing = true;
+            } else if (positional++ == 0) {
+                rows = Integer.parseInt(arg);
+            } else {
+                games = Integer.parseInt(arg);
+            }
+        }
+
+        if (swing) {
+            int finalRows = rows;
+            SwingUtilities.invokeLater(() -> {
+                Minesweeper game = new Minesweeper(finalRows, (finalRows - 8) / 2 + 1, (won, nextLevel) -> System.exit(0));
+                game.attachPlayer(new SinglePointPlayer(System.nanoTime()), 100);
+            });
+            return;
+        }
+
+        Topology topology = Topology.square(rows, rows);
+        HeadlessGame game = new HeadlessGame(topology, Minesweeper.mineCountFor(rows, rows));
+        Player player = new SinglePointPlayer(1);
+        int maxMoves = topology.cellCount() * 4;
+
+        // Warm up so the JIT has compiled the loop before timing starts
+        for (int i = 0; i < Math.min(games, 20_000); i++) {
+            game.play(player, i, maxMoves);
+        }
+
+        int won = 0;
+        long moves = 0;
+        long t0 = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            if (game.play(player, i, maxMoves) == HeadlessGame.WON) won++;
+            moves += game.observation.moves;
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("%dx%d: %d games, %d moves in %.2f s%n", rows, rows, games, moves, seconds);
+        System.out.printf("%.0f moves/s  %.0f games/s  win rate %.1f%%%n",
+            moves / seconds, games / seconds, 100.0 * won / games);
+    }
+}
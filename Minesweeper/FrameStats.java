@@ -0,0 +1,107 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frame pacing numbers for one render path, printed every few seconds.
+ *
+ * Frame time is measured around the draw, dropped frames are deadlines the
+ * render loop overran, CPU is the rendering thread's share of wall time, and
+ * input latency runs from a mouse press to the end of the first frame that
+ * started after the press was applied to what that path draws.
+ */
+final class FrameStats {
+    private static final long REPORT_INTERVAL = 5_000_000_000L;
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final String label;
+    private final AtomicLong pendingInput = new AtomicLong();
+    private final AtomicLong inputAppliedAt = new AtomicLong();
+
+    // Only touched by the rendering thread
+    private long windowStart = 0;
+    private long cpuStart;
+    private long frameStart;
+    private int frames;
+    private long frameNanos;
+    private long maxFrameNanos;
+    private long dropped;
+    private int inputs;
+    private long latencyNanos;
+    private long maxLatencyNanos;
+
+    FrameStats(String label) {
+        this.label = label;
+    }
+
+    static boolean enabled() {
+        return Boolean.getBoolean("minesweeper.frameStats");
+    }
+
+    /** Called from the input thread when a press arrives. */
+    void inputReceived() {
+        pendingInput.compareAndSet(0, System.nanoTime());
+    }
+
+    /** Called once the press is visible to the renderer; only frames started after this count. */
+    void inputApplied() {
+        if (pendingInput.get() != 0) inputAppliedAt.compareAndSet(0, System.nanoTime());
+    }
+
+    void frameStarted() {
+        frameStart = System.nanoTime();
+        if (windowStart == 0) resetWindow(frameStart);
+    }
+
+    void frameFinished() {
+        long now = System.nanoTime();
+        long elapsed = now - frameStart;
+        frames++;
+        frameNanos += elapsed;
+        maxFrameNanos = Math.max(maxFrameNanos, elapsed);
+
+        long applied = inputAppliedAt.get();
+        if (applied != 0 && applied <= frameStart && inputAppliedAt.compareAndSet(applied, 0)) {
+            long latency = now - pendingInput.getAndSet(0);
+            inputs++;
+            latencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+        }
+
+        if (now - windowStart >= REPORT_INTERVAL) {
+            report(now);
+            resetWindow(now);
+        }
+    }
+
+    void framesDropped(long count) {
+        dropped += count;
+    }
+
+    private void report(long now) {
+        double wallMs = (now - windowStart) / 1e6;
+        long cpu = threadCpuNanos();
+        double cpuMs = cpu >= 0 && cpuStart >= 0 ? (cpu - cpuStart) / 1e6 : 0;
+        System.out.printf("[%s] %d frames  avg %.2f ms  max %.2f ms  dropped %d  cpu %.1f%%  input %d avg %.2f ms max %.2f ms%n",
+            label, frames,
+            frames > 0 ? frameNanos / 1e6 / frames : 0.0, maxFrameNanos / 1e6,
+            dropped, 100.0 * cpuMs / wallMs,
+            inputs, inputs > 0 ? latencyNanos / 1e6 / inputs : 0.0, maxLatencyNanos / 1e6);
+    }
+
+    private void resetWindow(long now) {
+        windowStart = now;
+        cpuStart = threadCpuNanos();
+        frames = 0;
+        frameNanos = 0;
+        maxFrameNanos = 0;
+        dropped = 0;
+        inputs = 0;
+        latencyNanos = 0;
+        maxLatencyNanos = 0;
+    }
+
+    private static long threadCpuNanos() {
+        return threads.isCurrentThreadCpuTimeSupported() ? threads.getCurrentThreadCpuTime() : -1;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Pausable stopwatch on {@link System#nanoTime()}.
+ *
+ * Elapsed time is derived from timestamps rather than counted ticks, so it
+ * stays accurate however late the timers that read it happen to fire.
+ */
+final class GameClock {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private long banked = 0;
+    private long runningSince;
+    private boolean running = false;
+
+    void start() {
+        if (running) return;
+        runningSince = System.nanoTime();
+        running = true;
+    }
+
+    void pause() {
+        if (!running) return;
+        banked += System.nanoTime() - runningSince;
+        running = false;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    long elapsedNanos() {
+        return running ? banked + System.nanoTime() - runningSince : banked;
+    }
+
+    int elapsedSeconds() {
+        return (int) (elapsedNanos() / NANOS_PER_SECOND);
+    }
+
+    /** Milliseconds until {@link #elapsedSeconds()} next changes, rounded up. */
+    int millisToNextSecond() {
+        long remaining = NANOS_PER_SECOND - elapsedNanos() % NANOS_PER_SECOND;
+        return (int) ((remaining + 999_999) / 1_000_000);
+    }
+}
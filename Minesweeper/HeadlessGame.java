@@ -0,0 +1,119 @@
+import java.util.Random;
+
+/**
+ * Game rules without Swing, for driving {@link Player}s as fast as they can move.
+ *
+ * Everything a game needs is allocated once in the constructor and reused by
+ * {@link #reset}, so playing any number of games produces no garbage. Boards
+ * match the Swing game for the same seed and first click.
+ */
+final class HeadlessGame {
+    static final int PLAYING = 0;
+    static final int WON = 1;
+    static final int LOST = 2;
+    static final int STALLED = 3;
+
+    final Observation observation;
+
+    private final Topology topology;
+    private final int mineCount;
+    private final boolean[] mines;
+    private final int[] adjacent;
+    private final int[] stack;
+    private final Random random = new Random();
+    private boolean minesPlaced;
+    private int status;
+
+    HeadlessGame(Topology topology, int mineCount) {
+        this.topology = topology;
+        this.mineCount = mineCount;
+        int cells = topology.cellCount();
+        mines = new boolean[cells];
+        adjacent = new int[cells];
+        stack = new int[cells];
+        observation = new Observation(topology, mineCount);
+    }
+
+    /** Starts a new game; mines are laid from {@code seed} on the first reveal. */
+    void reset(long seed) {
+        random.setSeed(seed);
+        observation.reset();
+        minesPlaced = false;
+        status = PLAYING;
+    }
+
+    int status() {
+        return status;
+    }
+
+    /** Plays one game to the end, or until the player has made {@code maxMoves} moves. */
+    int play(Player player, long seed, int maxMoves) {
+        reset(seed);
+        player.newGame(observation);
+        while (status == PLAYING) {
+            if (observation.moves >= maxMoves) {
+                status = STALLED;
+                break;
+            }
+            apply(player.nextMove(observation));
+        }
+        return status;
+    }
+
+    /** Applies an encoded move; moves on invalid or already revealed cells only cost a turn. */
+    int apply(int move) {
+        if (status != PLAYING) return status;
+        observation.moves++;
+        int cell = Player.cellOf(move);
+        if (cell >= mines.length) return status;
+
+        int[] cells = observation.cells;
+        if (Player.actionOf(move) == Player.FLAG) {
+            if (cells[cell] == Observation.HIDDEN && observation.flagsPlaced < mineCount) {
+                cells[cell] = Observation.FLAGGED;
+                observation.flagsPlaced++;
+            } else if (cells[cell] == Observation.FLAGGED) {
+                cells[cell] = Observation.HIDDEN;
+                observation.flagsPlaced--;
+            }
+            return status;
+        }
+
+        if (cells[cell] != Observation.HIDDEN) return status;
+        if (!minesPlaced) {
+            MineField.place(topology, mineCount, random, cell, mines);
+            MineField.countAdjacent(topology, mines, adjacent);
+            minesPlaced = true;
+        }
+        if (mines[cell]) {
+            cells[cell] = Observation.EXPLODED;
+            return status = LOST;
+        }
+
+        reveal(cell);
+        if (observation.revealed == mines.length - mineCount) status = WON;
+        return status;
+    }
+
+    private void reveal(int cell) {
+        int[] start = topology.start;
+        int[] neighbours = topology.neighbours;
+        int[] cells = observation.cells;
+        int top = 0;
+        cells[cell] = adjacent[cell];
+        observation.revealed++;
+        stack[top++] = cell;
+        while (top > 0) {
+            int current = stack[--top];
+            if (adjacent[current] != 0) continue;
+            for (int k = start[current]; k < start[current + 1]; k++) {
+                int n = neighbours[k];
+                if (cells[n] == Observation.HIDDEN) {
+                    cells[n] = adjacent[n];
+                    observation.revealed++;
+                    stack[top++] = n;
+                }
+            }
+        }
+    }
+}
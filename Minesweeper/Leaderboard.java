@@ -0,0 +1,241 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Local leaderboard of completed games.
+ *
+ * Results are kept in an append-only log of fixed-size binary records behind
+ * a magic number and format version. On startup the log is read once from
+ * front to back into column arrays and an index per level and board size
+ * keyed by completion second, so recording a game and listing the top results
+ * never touch more than the buckets involved. A log with the wrong header or
+ * an implausible record is refused with an {@link IOException} rather than
+ * half loaded.
+ */
+public class Leaderboard {
+    private static final int MAGIC = 0x434D4C42; // "CMLB"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 2 * 4;
+    // time, level, size, hints used, first cell (ints) + seed (long)
+    private static final int RECORD_BYTES = 5 * 4 + 8;
+    // Far beyond any level's time limit; anything larger is a damaged record
+    private static final int MAX_SECONDS = 24 * 60 * 60;
+
+    private final File file;
+    private DataOutputStream out;
+
+    private int count = 0;
+    private int[] times = new int[64];
+    private int[] levels = new int[64];
+    private int[] sizes = new int[64];
+    private int[] hints = new int[64];
+    private int[] firstCells = new int[64];
+    private long[] seeds = new long[64];
+
+    // Keyed by level and board size together; see key()
+    private final HashMap<Long, LevelIndex> byBoard = new HashMap<>();
+
+    /**
+     * Results for one level on one board size, bucketed by completion second, with a Fenwick tree
+     * over the bucket sizes for rank queries. Within a bucket ids stay in
+     * insertion order, so earlier results win ties.
+     */
+    private static class LevelIndex {
+        int[][] buckets = new int[64][];
+        int[] bucketSize = new int[64];
+        int[] tree = new int[65];
+        int size = 0;
+
+        void add(int time, int id) {
+            if (time >= bucketSize.length) grow(time);
+            int[] ids = buckets[time];
+            if (ids == null) {
+                ids = buckets[time] = new int[4];
+            } else if (bucketSize[time] == ids.length) {
+                ids = buckets[time] = Arrays.copyOf(ids, ids.length * 2);
+            }
+            ids[bucketSize[time]++] = id;
+            for (int i = time + 1; i < tree.length; i += i & -i) tree[i]++;
+            size++;
+        }
+
+        /** Number of results strictly faster than {@code time}. */
+        int countBelow(int time) {
+            int sum = 0;
+            for (int i = Math.min(time, bucketSize.length); i > 0; i -= i & -i) sum += tree[i];
+            return sum;
+        }
+
+        private void grow(int time) {
+            int cap = bucketSize.length;
+            while (cap <= time) cap *= 2;
+            buckets = Arrays.copyOf(buckets, cap);
+            bucketSize = Arrays.copyOf(bucketSize, cap);
+            tree = new int[cap + 1];
+            for (int i = 1; i <= cap; i++) {
+                tree[i] += bucketSize[i - 1];
+                int parent = i + (i & -i);
+                if (parent <= cap) tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /** One leaderboard row. */
+    public static class Entry {
+        public final int rank;
+        public final int seconds;
+        public final int level;
+        public final int boardSize;
+        public final int hintsUsed;
+        /** Flat index of the first click; with the seed it reproduces the board. */
+        public final int firstCell;
+        public final long seed;
+
+        Entry(int rank, int seconds, int level, int boardSize, int hintsUsed, int firstCell, long seed) {
+            this.rank = rank;
+            this.seconds = seconds;
+            this.level = level;
+            this.boardSize = boardSize;
+            this.hintsUsed = hintsUsed;
+            this.firstCell = firstCell;
+            this.seed = seed;
+        }
+    }
+
+    public Leaderboard(File file) {
+        this.file = file;
+    }
+
+    static File defaultFile() {
+        return new File(System.getProperty("user.home"), ".cosmic-mines-leaderboard");
+    }
+
+    /** Opens the log at {@code file}, rebuilding the index from its contents. */
+    public static Leaderboard open(File file) throws IOException {
+        Leaderboard board = new Leaderboard(file);
+        board.load();
+        return board;
+    }
+
+    private void load() throws IOException {
+        if (!file.exists() || file.length() == 0) return;
+
+        long validBytes;
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            while (header.hasRemaining() && in.read(header) >= 0) {}
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a leaderboard file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " has unsupported version " + version);
+            }
+
+            long records = (in.size() - HEADER_BYTES) / RECORD_BYTES;
+            validBytes = HEADER_BYTES + records * RECORD_BYTES;
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_BYTES * 4096);
+            long read = HEADER_BYTES;
+            while (read < validBytes) {
+                buf.clear();
+                buf.limit((int) Math.min(buf.capacity(), validBytes - read));
+                while (buf.hasRemaining() && in.read(buf) >= 0) {}
+                buf.flip();
+                if (buf.limit() == 0) break;
+                read += buf.limit();
+                while (buf.remaining() >= RECORD_BYTES) {
+                    int time = buf.getInt();
+                    int level = buf.getInt();
+                    int size = buf.getInt();
+                    int used = buf.getInt();
+                    int first = buf.getInt();
+                    long seed = buf.getLong();
+                    if (time < 0 || time > MAX_SECONDS || level < 1 || size < 1 || used < 0 || first < 0) {
+                        throw new IOException(file + " has a damaged record at entry " + count);
+                    }
+                    int id = add(time, level, size, used, first, seed);
+                    index(level, size).add(time, id);
+                }
+            }
+        }
+
+        // Drop a torn record left behind by a crash mid-write
+        if (file.length() != validBytes) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validBytes);
+            }
+        }
+    }
+
+    /** Appends a result to the log and returns its 1-based rank among results for the same level and board size. */
+    public synchronized int record(int seconds, int level, int boardSize, int hintsUsed, int firstCell, long seed) throws IOException {
+        if (out == null) {
+            boolean fresh = !file.exists() || file.length() == 0;
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+            if (fresh) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+        }
+        out.writeInt(seconds);
+        out.writeInt(level);
+        out.writeInt(boardSize);
+        out.writeInt(hintsUsed);
+        out.writeInt(firstCell);
+        out.writeLong(seed);
+        out.flush();
+
+        int id = add(seconds, level, boardSize, hintsUsed, firstCell, seed);
+        LevelIndex idx = index(level, boardSize);
+        idx.add(seconds, id);
+        return idx.countBelow(seconds) + 1;
+    }
+
+    /** Best {@code n} results for a level and board size, fastest first. */
+    public synchronized Entry[] top(int level, int boardSize, int n) {
+        LevelIndex idx = byBoard.get(key(level, boardSize));
+        if (idx == null) return new Entry[0];
+        Entry[] result = new Entry[Math.min(n, idx.size)];
+        int filled = 0;
+        for (int time = 0; filled < result.length; time++) {
+            int rank = filled + 1;
+            for (int j = 0; j < idx.bucketSize[time] && filled < result.length; j++) {
+                int id = idx.buckets[time][j];
+                result[filled++] = new Entry(rank, times[id], levels[id], sizes[id], hints[id], firstCells[id], seeds[id]);
+            }
+        }
+        return result;
+    }
+
+    private int add(int time, int level, int size, int used, int first, long seed) {
+        if (count == times.length) {
+            int cap = count * 2;
+            times = Arrays.copyOf(times, cap);
+            levels = Arrays.copyOf(levels, cap);
+            sizes = Arrays.copyOf(sizes, cap);
+            hints = Arrays.copyOf(hints, cap);
+            firstCells = Arrays.copyOf(firstCells, cap);
+            seeds = Arrays.copyOf(seeds, cap);
+        }
+        times[count] = time;
+        levels[count] = level;
+        sizes[count] = size;
+        hints[count] = used;
+        firstCells[count] = first;
+        seeds[count] = seed;
+        return count++;
+    }
+
+    private LevelIndex index(int level, int boardSize) {
+        return byBoard.computeIfAbsent(key(level, boardSize), k -> new LevelIndex());
+    }
+
+    private static long key(int level, int boardSize) {
+        return ((long) level << 32) | (boardSize & 0xFFFFFFFFL);
+    }
+}
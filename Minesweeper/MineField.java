@@ -0,0 +1,56 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Mine placement shared by the game and offline tools, so a seed produces the
+ * same board everywhere.
+ */
+final class MineField {
+    private MineField() {}
+
+    /**
+     * Scatters {@code mineCount} mines from {@code seed}, keeping {@code firstCell}
+     * and its neighbours clear.
+     */
+    static void place(Topology topology, int mineCount, long seed, int firstCell, boolean[] mines) {
+        place(topology, mineCount, new Random(seed), firstCell, mines);
+    }
+
+    /** Same as above, drawing from a caller-owned generator already seeded for this board. */
+    static void place(Topology topology, int mineCount, Random random, int firstCell, boolean[] mines) {
+        int[] start = topology.start;
+        int[] neighbours = topology.neighbours;
+        Arrays.fill(mines, false);
+
+        int mineLeft = mineCount;
+        while (mineLeft > 0) {
+            int cell = topology.index(random.nextInt(topology.rows), random.nextInt(topology.cols));
+            if (mines[cell] || cell == firstCell) continue;
+
+            boolean nearFirst = false;
+            for (int k = start[firstCell]; k < start[firstCell + 1]; k++) {
+                if (neighbours[k] == cell) {
+                    nearFirst = true;
+                    break;
+                }
+            }
+            if (!nearFirst) {
+                mines[cell] = true;
+                mineLeft--;
+            }
+        }
+    }
+
+    /** Fills {@code out} with the number of mines touching each cell. */
+    static void countAdjacent(Topology topology, boolean[] mines, int[] out) {
+        int[] start = topology.start;
+        int[] neighbours = topology.neighbours;
+        Arrays.fill(out, 0);
+        for (int cell = 0; cell < mines.length; cell++) {
+            if (!mines[cell]) continue;
+            for (int k = start[cell]; k < start[cell + 1]; k++) {
+                out[neighbours[k]]++;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Random;
 import javax.swing.*;
@@ -11,14 +12,13 @@ interface GameEndCallback {
 
 public class Minesweeper {
     private class MineTile extends JButton {
-        int r, c;
+        int cell;
         ImageIcon assignedBackground;
         int bgIndex;
         boolean hovered = false;
 
-        public MineTile(int r, int c) {
-            this.r = r;
-            this.c = c;
+        public MineTile(int cell) {
+            this.cell = cell;
             assignedBackground = getRandomBackground();
             configureIcons();
 
@@ -31,35 +31,9 @@ public class Minesweeper {
             addMouseListener(new MouseAdapter() {
                 @Override
                 public void mousePressed(MouseEvent e) {
-                    if (gameOver) return;
-                    MineTile tile = (MineTile) e.getSource();
-
-                    if (firstClickedTile == null && e.getButton() == MouseEvent.BUTTON1) {
-                        firstClickedTile = tile;
-                        setMines(firstClickedTile);
-                        startTimer();
-                        checkMine(tile.r, tile.c);
-                        return;
-                    }
-
-                    if (e.getButton() == MouseEvent.BUTTON1) {
-                        if (tile.isEnabled() && tile.getIcon() == tile.assignedBackground) {
-                            if (mineList.contains(tile)) {
-                                tile.setIcon(mineIcon);
-                                tile.setDisabledIcon(mineIcon);
-                                revealMines();
-                            } else {
-                                checkMine(tile.r, tile.c);
-                            }
-                        }
-                    } else if (e.getButton() == MouseEvent.BUTTON3) {
-                        if (tile.getIcon() == tile.assignedBackground && (mineCount - countFlag()) > 0) {
-                            tile.setIcon(flagIcon);
-                        } else if (tile.getIcon() == flagIcon) {
-                            tile.setIcon(tile.assignedBackground);
-                        }
-                        updateHeaderText();
-                    }
+                    if (frameStats != null) frameStats.inputReceived();
+                    pressTile((MineTile) e.getSource(), e.getButton());
+                    if (frameStats != null) frameStats.inputApplied();
                 }
 
                 @Override
@@ -77,8 +51,8 @@ public class Minesweeper {
         }
 
         private ImageIcon getRandomBackground() {
-            bgIndex = random.nextInt(originalBackgrounds.length);
-            return scaleIcon(originalBackgrounds[bgIndex], tileSize);
+            bgIndex = random.nextInt(backgrounds.length);
+            return backgrounds[bgIndex];
         }
 
         void configureIcons() {
@@ -86,6 +60,25 @@ public class Minesweeper {
             setDisabledIcon(assignedBackground);
         }
 
+        // Every state change goes through these two, so the canvas copy can't fall behind
+        @Override
+        public void setIcon(Icon icon) {
+            super.setIcon(icon);
+            syncCanvas();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            super.setEnabled(enabled);
+            syncCanvas();
+        }
+
+        private void syncCanvas() {
+            if (boardCanvas == null) return;
+            Icon icon = getIcon();
+            boardCanvas.setTile(cell, icon instanceof ImageIcon ? ((ImageIcon) icon).getImage() : null, isEnabled());
+        }
+
         @Override
         protected void paintComponent(Graphics g) {
             if (getIcon() != null) {
@@ -99,38 +92,104 @@ public class Minesweeper {
         }
     }
 
-    private ImageIcon scaleIcon(ImageIcon icon, int size) {
-        Image img = icon.getImage().getScaledInstance(size, size, Image.SCALE_SMOOTH);
-        return new ImageIcon(img);
+    void pressTile(MineTile tile, int button) {
+        if (gameOver) return;
+        if (firstClickedTile == null && button == MouseEvent.BUTTON1) {
+            // The first reveal lays the mines and starts the clock, which undo can't take back,
+            // so history starts after it
+            handlePress(tile, button);
+            if (history != null) history.clear();
+            return;
+        }
+        beginMove();
+        handlePress(tile, button);
+        commitMove();
     }
 
-    private final ImageIcon[] originalBackgrounds = {
-        loadIcon("back1.png"),
-        loadIcon("back2.png"),
-        loadIcon("back3.png")
-    };
+    private void handlePress(MineTile tile, int button) {
+        if (firstClickedTile == null && button == MouseEvent.BUTTON1) {
+            firstClickedTile = tile;
+            setMines(firstClickedTile);
+            startTimer();
+            checkMine(tile.cell);
+            return;
+        }
 
-    private ImageIcon flagIcon = loadIcon("flag.png");
-    private ImageIcon mineIcon = loadIcon("bomb.png");
-    private ImageIcon[] blankIcons = new ImageIcon[] {
-        loadIcon("b1.png"), loadIcon("b2.png"),
-        loadIcon("b3.png"), loadIcon("b4.png")
-    };
-    private ImageIcon oneIcon = loadIcon("one.png");
-    private ImageIcon twoIcon = loadIcon("two.png");
-    private ImageIcon threeIcon = loadIcon("three.png");
-    private ImageIcon fourIcon = loadIcon("four.png");
-    private ImageIcon fiveIcon = loadIcon("five.png");
-    private ImageIcon sixIcon = loadIcon("six.png");
-    private ImageIcon sevenIcon = loadIcon("seven.png");
-    private ImageIcon eightIcon = loadIcon("eight.png");
+        if (button == MouseEvent.BUTTON1) {
+            if (tile.isEnabled() && tile.getIcon() == tile.assignedBackground) {
+                if (isMine[tile.cell]) {
+                    touch(tile);
+                    tile.setIcon(mineIcon);
+                    tile.setDisabledIcon(mineIcon);
+                    if (PRACTICE) {
+                        gameOver = true;
+                        stopTimer();
+                        hintButton.setEnabled(false);
+                        textLabel.setText("Boom!   Ctrl+Z to undo");
+                    } else {
+                        revealMines();
+                    }
+                } else {
+                    checkMine(tile.cell);
+                }
+            }
+        } else if (button == MouseEvent.BUTTON3) {
+            if (tile.getIcon() == tile.assignedBackground && (mineCount - flagCount) > 0) {
+                touch(tile);
+                tile.setIcon(flagIcon);
+                flagCount++;
+            } else if (tile.getIcon() == flagIcon) {
+                touch(tile);
+                tile.setIcon(tile.assignedBackground);
+                flagCount--;
+            }
+            updateHeaderText();
+        }
+    }
+
+    // Pre-scaled to tileSize; tiles share these, so icon identity still tells states apart
+    private ImageIcon[] backgrounds;
+    private ImageIcon flagIcon;
+    private ImageIcon mineIcon;
+    private ImageIcon[] blankIcons;
+    private ImageIcon oneIcon;
+    private ImageIcon twoIcon;
+    private ImageIcon threeIcon;
+    private ImageIcon fourIcon;
+    private ImageIcon fiveIcon;
+    private ImageIcon sixIcon;
+    private ImageIcon sevenIcon;
+    private ImageIcon eightIcon;
+
+    private void loadIcons() {
+        backgrounds = new ImageIcon[] {
+            loadIcon("back1.png"),
+            loadIcon("back2.png"),
+            loadIcon("back3.png")
+        };
+        flagIcon = loadIcon("flag.png");
+        mineIcon = loadIcon("bomb.png");
+        blankIcons = new ImageIcon[] {
+            loadIcon("b1.png"), loadIcon("b2.png"),
+            loadIcon("b3.png"), loadIcon("b4.png")
+        };
+        oneIcon = loadIcon("one.png");
+        twoIcon = loadIcon("two.png");
+        threeIcon = loadIcon("three.png");
+        fourIcon = loadIcon("four.png");
+        fiveIcon = loadIcon("five.png");
+        sixIcon = loadIcon("six.png");
+        sevenIcon = loadIcon("seven.png");
+        eightIcon = loadIcon("eight.png");
+    }
 
     private ImageIcon loadIcon(String filename) {
-        return new ImageIcon(filename);
+        return Assets.icon(filename, tileSize);
     }
 
     Timer swingTimer;
-    int elapsedSeconds = 0;
+    GameClock clock = new GameClock();
+    int shownSeconds = -1;
     int timeLimit;
 
     private MineTile firstClickedTile = null;
@@ -144,36 +203,79 @@ public class Minesweeper {
     JFrame frame = new JFrame("Minesweeper");
     JLabel textLabel = new JLabel();
     JPanel textPanel = new JPanel();
-    JPanel boardPanel = new JPanel();
+    JPanel boardPanel = new JPanel() {
+        @Override
+        public void paint(Graphics g) {
+            if (frameStats == null) {
+                super.paint(g);
+                return;
+            }
+            frameStats.frameStarted();
+            super.paint(g);
+            frameStats.frameFinished();
+        }
+    };
+
+    // -Dminesweeper.render=active draws the board from a render thread instead of Swing's repaint cycle
+    static final boolean ACTIVE_RENDERING = "active".equals(System.getProperty("minesweeper.render"));
+    static final int RENDER_FPS = renderFps();
+    // -Dminesweeper.practice=true lifts the time limit and allows undo/redo; results are not ranked
+    static final boolean PRACTICE = Boolean.getBoolean("minesweeper.practice");
+    private BoardCanvas boardCanvas;
+    private FrameStats frameStats;
 
     int mineCount;
-    MineTile[][] board;
+    Topology topology;
+    MineTile[] board;
     ArrayList<MineTile> mineList = new ArrayList<>();
+    boolean[] isMine;
+    int[] adjacentMines;
+    private int[] revealStack;
     Random random = new Random();
+    long seed = random.nextLong();
 
     int tilesClicked = 0;
+    int flagCount = 0;
     boolean gameOver = false;
     GameEndCallback callback;
 
     private int currentLevel;
     private final int maxLevel = 10;
+    private final int maxHints = 3;
 
     private int remainingHints;
+    private MoveHistory history;
     private JButton hintButton;
 
     public Minesweeper(int numRows, int level, GameEndCallback callback) {
+        this(level, Topology.square(numRows, numRows), callback);
+    }
+
+    /**
+     * Plays on a rectangular board. The view draws a plain grid, so wrapping or
+     * hexagonal layouts are rejected; those are for the headless engine and analyzer.
+     */
+    public Minesweeper(int level, Topology topology, GameEndCallback callback) {
+        if (!topology.plainGrid) {
+            throw new IllegalArgumentException("Only square-grid boards can be shown");
+        }
         this.currentLevel = level;
-        this.numRows = numRows;
-        this.numCols = numRows;
-        this.tileSize = 750 / numRows;
+        this.topology = topology;
+        this.numRows = topology.rows;
+        this.numCols = topology.cols;
+        this.tileSize = tileSizeFor(Math.max(numRows, numCols));
         this.boardWidth = numCols * tileSize;
         this.boardHeight = numRows * tileSize;
-        this.mineCount = (int) ((numRows * numRows) * 0.15);
+        this.mineCount = mineCountFor(numRows, numCols);
         this.callback = callback;
         this.timeLimit = 60 * (numRows - 7);
-        this.remainingHints = 3;
+        this.remainingHints = maxHints;
 
-        board = new MineTile[numRows][numCols];
+        loadIcons();
+        board = new MineTile[topology.cellCount()];
+        isMine = new boolean[topology.cellCount()];
+        adjacentMines = new int[topology.cellCount()];
+        revealStack = new int[topology.cellCount()];
         hintButton = new JButton("Hint");
 
         frame.setSize(boardWidth, boardHeight + 50);
@@ -182,9 +284,12 @@ public class Minesweeper {
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         frame.setLayout(new BorderLayout());
 
-        textLabel.setFont(new Font("Consolas", Font.BOLD, 25));
+        textLabel.setFont(new Font("Consolas", Font.BOLD, 18));
         textLabel.setHorizontalAlignment(JLabel.CENTER);
+        textLabel.setBorder(BorderFactory.createEmptyBorder(20, 10, 10, 5));
         textLabel.setOpaque(true);
+        textLabel.setBackground(Color.BLACK);
+        textLabel.setForeground(Color.WHITE);
 
         textPanel.setLayout(new BorderLayout());
         textPanel.add(textLabel, BorderLayout.CENTER);
@@ -220,37 +325,71 @@ public class Minesweeper {
 
         frame.add(textPanel, BorderLayout.NORTH);
 
-        boardPanel.setLayout(new GridLayout(numRows, numCols));
-        frame.add(boardPanel, BorderLayout.CENTER);
+        boolean measure = FrameStats.enabled();
+        if (ACTIVE_RENDERING) {
+            FrameStats stats = measure ? new FrameStats("active " + numRows + "x" + numCols) : null;
+            boardCanvas = new BoardCanvas((cell, button) -> pressTile(board[cell], button),
+                numRows, numCols, tileSize, RENDER_FPS, stats);
+            frame.add(boardCanvas, BorderLayout.CENTER);
+        } else {
+            frameStats = measure ? new FrameStats("swing " + numRows + "x" + numCols) : null;
+            boardPanel.setLayout(new GridLayout(numRows, numCols));
+            frame.add(boardPanel, BorderLayout.CENTER);
+        }
+
+        // GridLayout fills row by row, matching the flat cell order
+        for (int cell = 0; cell < board.length; cell++) {
+            MineTile tile = new MineTile(cell);
+            board[cell] = tile;
+            // In active mode tiles only hold state; the canvas draws them
+            if (boardCanvas == null) boardPanel.add(tile);
+        }
 
-        for (int r = 0; r < numRows; r++) {
-            for (int c = 0; c < numCols; c++) {
-                MineTile tile = new MineTile(r, c);
-                board[r][c] = tile;
-                boardPanel.add(tile);
-            }
+        if (boardCanvas != null) {
+            // Unlike GridLayout the canvas never shrinks its tiles, so the frame has to fit the whole board
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+        }
+
+        // Stop the clock, its timer and the render loop while the player is away from the window
+        App.suspendWhileInactive(frame, this::pauseClock, this::resumeClock);
+        if (boardCanvas != null) {
+            App.suspendWhileInactive(frame, () -> boardCanvas.setSuspended(true), () -> boardCanvas.setSuspended(false));
+        }
+
+        if (PRACTICE) {
+            enableUndo();
         }
 
         updateHeaderText();
         frame.setVisible(true);
+        if (boardCanvas != null) boardCanvas.start();
     }
 
 
 
+    private static int renderFps() {
+        int fps = Integer.getInteger("minesweeper.fps", 60);
+        if (fps <= 0) {
+            System.err.println("Invalid minesweeper.fps " + fps + ", using 60.");
+            return 60;
+        }
+        return fps;
+    }
+
+    static int tileSizeFor(int numRows) {
+        return 750 / numRows;
+    }
+
+    static int mineCountFor(int numRows, int numCols) {
+        return (int) ((numRows * numCols) * 0.15);
+    }
+
     void setMines(MineTile firstTile) {
-        int mineLeft = mineCount;
-        int orgRow = firstTile.r;
-        int orgCol = firstTile.c;
-
-        while (mineLeft > 0) {
-            int r = random.nextInt(numRows);
-            int c = random.nextInt(numCols);
-            MineTile tile = board[r][c];
-
-            if (!mineList.contains(tile) && !(Math.abs(r - orgRow) <= 1 && Math.abs(c - orgCol) <= 1)) {
-                mineList.add(tile);
-                mineLeft--;
-            }
+        MineField.place(topology, mineCount, seed, firstTile.cell, isMine);
+        MineField.countAdjacent(topology, isMine, adjacentMines);
+        for (int cell = 0; cell < board.length; cell++) {
+            if (isMine[cell]) mineList.add(board[cell]);
         }
     }
 
@@ -266,29 +405,47 @@ public class Minesweeper {
 
         Timer delay = new Timer(2000, e -> {
             frame.dispose();
-            App.showGameOverScreen(false, 8);
+            App.showGameOverScreen(false, 8, currentLevel, numRows);
         });
         delay.setRepeats(false);
         delay.start();
     }
 
-    void checkMine(int r, int c) {
-        if (r < 0 || r >= numRows || c < 0 || c >= numCols) return;
+    void checkMine(int cell) {
+        if (!revealTile(board[cell])) {
+            updateHeaderText();
+            checkWin();
+            return;
+        }
 
-        MineTile tile = board[r][c];
-        if (!tile.isEnabled() || tile.getIcon() == flagIcon) return;
+        // Flood out from empty cells; each cell is revealed before it is pushed, so it is pushed at most once
+        int[] start = topology.start;
+        int[] neighbours = topology.neighbours;
+        int top = 0;
+        revealStack[top++] = cell;
+        while (top > 0) {
+            int current = revealStack[--top];
+            for (int k = start[current]; k < start[current + 1]; k++) {
+                int n = neighbours[k];
+                if (revealTile(board[n])) {
+                    revealStack[top++] = n;
+                }
+            }
+        }
 
+        updateHeaderText();
+        checkWin();
+    }
+
+    /** Reveals a hidden, unflagged tile and returns whether it has no neighbouring mines. */
+    boolean revealTile(MineTile tile) {
+        if (!tile.isEnabled() || tile.getIcon() == flagIcon) return false;
+
+        touch(tile);
         tile.setEnabled(false);
         tilesClicked++;
 
-        int minesFound = 0;
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int dc = -1; dc <= 1; dc++) {
-                if (dr == 0 && dc == 0) continue;
-                minesFound += countMine(r + dr, c + dc);
-            }
-        }
-
+        int minesFound = adjacentMines[tile.cell];
         if (minesFound > 0) {
             ImageIcon numIcon = switch (minesFound) {
                 case 1 -> oneIcon;
@@ -303,24 +460,20 @@ public class Minesweeper {
             };
             tile.setIcon(numIcon);
             tile.setDisabledIcon(numIcon);
-        } else {
-            ImageIcon blank = blankIcons[random.nextInt(blankIcons.length)];
-            tile.setIcon(blank);
-            tile.setDisabledIcon(blank);
-            for (int dr = -1; dr <= 1; dr++) {
-                for (int dc = -1; dc <= 1; dc++) {
-                    if (dr == 0 && dc == 0) continue;
-                    checkMine(r + dr, c + dc);
-                }
-            }
+            return false;
         }
 
-        updateHeaderText();
+        ImageIcon blank = blankIcons[random.nextInt(blankIcons.length)];
+        tile.setIcon(blank);
+        tile.setDisabledIcon(blank);
+        return true;
+    }
 
-        if (tilesClicked == numRows * numCols - mineList.size()) {
+    void checkWin() {
+        if (tilesClicked == board.length - mineList.size()) {
             gameOver = true;
             stopTimer();
-            textLabel.setText("Mines Cleared!   Time: " + elapsedSeconds + " seconds");
+            textLabel.setText("Mines Cleared!   Time: " + clock.elapsedSeconds() + " seconds" + recordResult());
 
             Timer delay = new Timer(2000, e -> {
                 frame.dispose();
@@ -330,7 +483,7 @@ public class Minesweeper {
                     JOptionPane.showMessageDialog(null, "Congratulations! You completed all 10 levels!");
                     frame.dispose();
                     //callback.onGameEnd(true, currentLevel);
-                    App.showGameOverScreen(true, 8);
+                    App.showGameOverScreen(true, 8, currentLevel, numRows);
                 }
             });
             delay.setRepeats(false);
@@ -338,36 +491,28 @@ public class Minesweeper {
         }
     }
 
-    int countFlag() {
-        int count = 0;
-        for (MineTile[] row : board) {
-            for (MineTile tile : row) {
-                if (tile != null && flagIcon.equals(tile.getIcon())) {
-                    count++;
-                }
-            }
+    String recordResult() {
+        if (App.leaderboard == null || PRACTICE) return "";
+        try {
+            int rank = App.leaderboard.record(clock.elapsedSeconds(), currentLevel, numRows, maxHints - remainingHints, firstClickedTile.cell, seed);
+            return "   Rank: #" + rank;
+        } catch (IOException e) {
+            System.err.println("Could not save result: " + e.getMessage());
+            return "";
         }
-        return count;
-    }
-
-    int countMine(int r, int c) {
-        if (r < 0 || r >= numRows || c < 0 || c >= numCols) return 0;
-        return mineList.contains(board[r][c]) ? 1 : 0;
     }
 
     void updateHeaderText() {
-    	textLabel.setBorder(BorderFactory.createEmptyBorder(20, 10, 10, 5));
-        int timeLeft = Math.max(0, timeLimit - elapsedSeconds);
-        textLabel.setFont(new Font("Consolas", Font.BOLD, 18));
-        textLabel.setText("Level " + currentLevel + "/" + maxLevel + "   Mines: " + (mineCount - countFlag()) + "   Time left: " + timeLeft + "s   Hints: " + remainingHints);
-    	textLabel.setOpaque(true);             
-		textLabel.setBackground(Color.BLACK); 
-		textLabel.setForeground(Color.WHITE);  
-    
+        // Once the game ends the header holds the result
+        if (gameOver) return;
+        shownSeconds = clock.elapsedSeconds();
+        int timeLeft = Math.max(0, timeLimit - shownSeconds);
+        textLabel.setText("Level " + currentLevel + "/" + maxLevel + "   Mines: " + (mineCount - flagCount) + "   Time left: " + timeLeft + "s   Hints: " + remainingHints);
     }
     
  
    void useHint() {
+    if (gameOver) return;
     if (firstClickedTile == null) {
         JOptionPane.showMessageDialog(frame, "Click a tile first before using a hint!", "Hint Unavailable", JOptionPane.WARNING_MESSAGE);
         return;
@@ -379,26 +524,25 @@ public class Minesweeper {
         int attempts = 0;
         while (!hintFound && attempts < 1000) {
             attempts++;
-            int r = random.nextInt(numRows);
-            int c = random.nextInt(numCols);
-            MineTile tile = board[r][c];
-
-            if (!mineList.contains(tile) && tile.isEnabled() && tile.getIcon() == tile.assignedBackground) {
-                ArrayList<MineTile> adjacentTiles = getAdjacentTiles(r, c);
+            int cell = random.nextInt(board.length);
+            MineTile tile = board[cell];
 
+            if (!isMine[cell] && tile.isEnabled() && tile.getIcon() == tile.assignedBackground) {
                 boolean bordersRevealedTile = false;
-                for (MineTile adjTile : adjacentTiles) {
-                    if (!adjTile.isEnabled()) {
+                for (int k = topology.start[cell]; k < topology.start[cell + 1]; k++) {
+                    if (!board[topology.neighbours[k]].isEnabled()) {
                         bordersRevealedTile = true;
                         break;
                     }
                 }
 
                 if (bordersRevealedTile) {
-                    checkMine(r, c);
+                    beginMove();
+                    // Spend the hint first: the reveal may win the game and record the result
                     remainingHints--;
-                    updateHeaderText();
                     hintButton.setEnabled(remainingHints > 0);
+                    checkMine(cell);
+                    commitMove();
                     hintFound = true;
                 }
             }
@@ -412,34 +556,180 @@ public class Minesweeper {
 
 
     
-    ArrayList<MineTile> getAdjacentTiles(int r, int c) {
-        ArrayList<MineTile> adjacentTiles = new ArrayList<>();
-        for (int dr = -1; dr <= 1; dr++) {
-            for (int dc = -1; dc <= 1; dc++) {
-                if (dr == 0 && dc == 0) continue; 
-                int nr = r + dr;
-                int nc = c + dc;
-                if (nr >= 0 && nr < numRows && nc >= 0 && nc < numCols) {
-                    adjacentTiles.add(board[nr][nc]);
-                }
+    /**
+     * Lets a bot play this window, one move every {@code delayMs}, through the
+     * same code path as mouse presses.
+     */
+    void attachPlayer(Player player, int delayMs) {
+        Observation observation = new Observation(topology, mineCount);
+        player.newGame(observation);
+        Timer botTimer = new Timer(delayMs, null);
+        botTimer.addActionListener(e -> {
+            if (gameOver) {
+                botTimer.stop();
+                return;
+            }
+            observe(observation);
+            int move = player.nextMove(observation);
+            observation.moves++;
+            int cell = Player.cellOf(move);
+            if (cell >= board.length) return;
+            pressTile(board[cell], Player.actionOf(move) == Player.FLAG ? MouseEvent.BUTTON3 : MouseEvent.BUTTON1);
+        });
+        botTimer.start();
+    }
+
+    private void observe(Observation observation) {
+        int[] cells = observation.cells;
+        for (int cell = 0; cell < board.length; cell++) {
+            MineTile tile = board[cell];
+            if (tile.getIcon() == mineIcon) {
+                cells[cell] = Observation.EXPLODED;
+            } else if (tile.getIcon() == flagIcon) {
+                cells[cell] = Observation.FLAGGED;
+            } else if (tile.isEnabled()) {
+                cells[cell] = Observation.HIDDEN;
+            } else {
+                cells[cell] = adjacentMines[cell];
             }
         }
-        return adjacentTiles;
+        observation.flagsPlaced = flagCount;
+        observation.revealed = tilesClicked;
     }
 
-    void startTimer() {
-        swingTimer = new Timer(1000, e -> {
-            elapsedSeconds++;
-            updateHeaderText();
-            if (elapsedSeconds >= timeLimit) {
-                swingTimer.stop();
-                revealMines();
+    private void enableUndo() {
+        history = new MoveHistory(board.length, new MoveHistory.Cells() {
+            @Override
+            public Icon iconOf(int cell) {
+                return board[cell].getIcon();
+            }
+
+            @Override
+            public boolean enabledOf(int cell) {
+                return board[cell].isEnabled();
+            }
+
+            @Override
+            public void restore(int cell, Icon icon, boolean enabled) {
+                MineTile tile = board[cell];
+                tile.setIcon(icon);
+                tile.setDisabledIcon(enabled ? tile.assignedBackground : icon);
+                tile.setEnabled(enabled);
             }
         });
-        swingTimer.start();
+
+        int shortcut = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        JRootPane root = frame.getRootPane();
+        InputMap keys = root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcut), "undo");
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_Y, shortcut), "redo");
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_Z, shortcut | InputEvent.SHIFT_DOWN_MASK), "redo");
+        root.getActionMap().put("undo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // A cleared board is already on its way to the next level
+                if (tilesClicked == board.length - mineList.size()) return;
+                applyCounters(history.undo());
+            }
+        });
+        root.getActionMap().put("redo", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // A cleared board is already on its way to the next level
+                if (tilesClicked == board.length - mineList.size()) return;
+                applyCounters(history.redo());
+            }
+        });
+
+        // Key bindings only reach Swing components; the heavyweight canvas needs a plain listener
+        if (boardCanvas != null) {
+            boardCanvas.addKeyListener(new KeyAdapter() {
+                @Override
+                public void keyPressed(KeyEvent e) {
+                    Object name = keys.get(KeyStroke.getKeyStrokeForEvent(e));
+                    Action action = name == null ? null : root.getActionMap().get(name);
+                    if (action != null) {
+                        action.actionPerformed(new ActionEvent(boardCanvas, ActionEvent.ACTION_PERFORMED, name.toString()));
+                    }
+                }
+            });
+        }
+    }
+
+    private void beginMove() {
+        if (history != null) history.begin(counters());
+    }
+
+    private void commitMove() {
+        if (history != null) history.commit(counters());
+    }
+
+    /** Records a tile's current state before the move in progress changes it. */
+    private void touch(MineTile tile) {
+        if (history != null) history.beforeChange(tile.cell);
+    }
+
+    private int[] counters() {
+        return new int[] { tilesClicked, flagCount, remainingHints, gameOver ? 1 : 0 };
+    }
+
+    private void applyCounters(int[] counters) {
+        if (counters == null) return;
+        tilesClicked = counters[0];
+        flagCount = counters[1];
+        remainingHints = counters[2];
+        gameOver = counters[3] != 0;
+        hintButton.setEnabled(remainingHints > 0 && !gameOver);
+        if (gameOver) {
+            stopTimer();
+            textLabel.setText("Boom!   Ctrl+Z to undo");
+        } else {
+            resumeClock();
+            updateHeaderText();
+        }
+    }
+
+    void startTimer() {
+        // One-shot timer re-armed for the next second boundary, so the header only
+        // refreshes when the displayed time changes and late ticks never accumulate
+        swingTimer = new Timer(0, e -> onClockTick());
+        swingTimer.setRepeats(false);
+        clock.start();
+        scheduleTick();
+    }
+
+    private void scheduleTick() {
+        swingTimer.setInitialDelay(clock.millisToNextSecond());
+        swingTimer.restart();
+    }
+
+    private void onClockTick() {
+        if (gameOver || !clock.isRunning()) return;
+        int elapsed = clock.elapsedSeconds();
+        if (elapsed != shownSeconds) {
+            updateHeaderText();
+        }
+        if (elapsed >= timeLimit && !PRACTICE) {
+            revealMines();
+            return;
+        }
+        scheduleTick();
+    }
+
+    void pauseClock() {
+        if (swingTimer == null || !clock.isRunning()) return;
+        clock.pause();
+        swingTimer.stop();
+    }
+
+    void resumeClock() {
+        if (swingTimer == null || gameOver || clock.isRunning()) return;
+        clock.start();
+        scheduleTick();
     }
 
     void stopTimer() {
+        clock.pause();
         if (swingTimer != null) swingTimer.stop();
     }
 }
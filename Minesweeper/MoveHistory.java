@@ -0,0 +1,131 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import javax.swing.Icon;
+
+/**
+ * Unlimited undo/redo stored as per-move deltas.
+ *
+ * A move keeps the before and after state of only the cells it touched, plus
+ * a handful of game counters, so memory per move and the cost of undoing or
+ * redoing it are proportional to what it changed rather than the board size.
+ */
+final class MoveHistory {
+    /** Read and write access to the tile state the history tracks. */
+    interface Cells {
+        Icon iconOf(int cell);
+
+        boolean enabledOf(int cell);
+
+        void restore(int cell, Icon icon, boolean enabled);
+    }
+
+    private static final class Move {
+        final int[] cells;
+        final Icon[] iconBefore;
+        final boolean[] enabledBefore;
+        final Icon[] iconAfter;
+        final boolean[] enabledAfter;
+        final int[] countersBefore;
+        final int[] countersAfter;
+
+        Move(int size, int[] countersBefore, int[] countersAfter) {
+            cells = new int[size];
+            iconBefore = new Icon[size];
+            enabledBefore = new boolean[size];
+            iconAfter = new Icon[size];
+            enabledAfter = new boolean[size];
+            this.countersBefore = countersBefore;
+            this.countersAfter = countersAfter;
+        }
+    }
+
+    private final Cells board;
+    private final ArrayDeque<Move> undo = new ArrayDeque<>();
+    private final ArrayDeque<Move> redo = new ArrayDeque<>();
+
+    // Scratch for the move being recorded; reused between moves
+    private final int[] touchedIn;
+    private int stamp = 0;
+    private int[] pending = new int[16];
+    private Icon[] pendingIcons = new Icon[16];
+    private boolean[] pendingEnabled = new boolean[16];
+    private int pendingSize = 0;
+    private int[] pendingCounters;
+
+    MoveHistory(int cellCount, Cells board) {
+        this.board = board;
+        this.touchedIn = new int[cellCount];
+    }
+
+    /** Starts recording a move; {@code counters} is the game state outside the cells. */
+    void begin(int[] counters) {
+        stamp++;
+        pendingSize = 0;
+        pendingCounters = counters;
+    }
+
+    /** Must be called before a cell's state changes during a move. */
+    void beforeChange(int cell) {
+        if (pendingCounters == null || touchedIn[cell] == stamp) return;
+        touchedIn[cell] = stamp;
+        if (pendingSize == pending.length) {
+            int cap = pendingSize * 2;
+            pending = Arrays.copyOf(pending, cap);
+            pendingIcons = Arrays.copyOf(pendingIcons, cap);
+            pendingEnabled = Arrays.copyOf(pendingEnabled, cap);
+        }
+        pending[pendingSize] = cell;
+        pendingIcons[pendingSize] = board.iconOf(cell);
+        pendingEnabled[pendingSize] = board.enabledOf(cell);
+        pendingSize++;
+    }
+
+    /** Finishes the current move; moves that changed nothing are dropped. */
+    void commit(int[] counters) {
+        int[] before = pendingCounters;
+        pendingCounters = null;
+        if (before == null) return;
+        if (pendingSize == 0 && Arrays.equals(before, counters)) return;
+
+        Move move = new Move(pendingSize, before, counters);
+        for (int i = 0; i < pendingSize; i++) {
+            int cell = pending[i];
+            move.cells[i] = cell;
+            move.iconBefore[i] = pendingIcons[i];
+            move.enabledBefore[i] = pendingEnabled[i];
+            move.iconAfter[i] = board.iconOf(cell);
+            move.enabledAfter[i] = board.enabledOf(cell);
+            pendingIcons[i] = null;
+        }
+        undo.push(move);
+        redo.clear();
+    }
+
+    /** Forgets every recorded move, for when earlier moves can no longer be reverted safely. */
+    void clear() {
+        undo.clear();
+        redo.clear();
+    }
+
+    /** Reverts the last move and returns the counters to restore, or null if there is none. */
+    int[] undo() {
+        Move move = undo.poll();
+        if (move == null) return null;
+        for (int i = move.cells.length - 1; i >= 0; i--) {
+            board.restore(move.cells[i], move.iconBefore[i], move.enabledBefore[i]);
+        }
+        redo.push(move);
+        return move.countersBefore;
+    }
+
+    /** Re-applies the last undone move and returns its counters, or null if there is none. */
+    int[] redo() {
+        Move move = redo.poll();
+        if (move == null) return null;
+        for (int i = 0; i < move.cells.length; i++) {
+            board.restore(move.cells[i], move.iconAfter[i], move.enabledAfter[i]);
+        }
+        undo.push(move);
+        return move.countersAfter;
+    }
+}
@@ -0,0 +1,40 @@
+import java.util.Arrays;
+
+/**
+ * What a {@link Player} can see of a game.
+ *
+ * One instance is allocated per engine and overwritten in place, so a bot that
+ * only reads it adds no garbage per move. {@link #cells} holds the number of
+ * adjacent mines for revealed cells and one of the negative markers otherwise.
+ */
+public final class Observation {
+    public static final int HIDDEN = -1;
+    public static final int FLAGGED = -2;
+    public static final int EXPLODED = -3;
+
+    public final Topology topology;
+    public final int rows;
+    public final int cols;
+    public final int mineCount;
+    public final int[] cells;
+
+    public int flagsPlaced;
+    public int revealed;
+    public int moves;
+
+    Observation(Topology topology, int mineCount) {
+        this.topology = topology;
+        this.rows = topology.rows;
+        this.cols = topology.cols;
+        this.mineCount = mineCount;
+        this.cells = new int[topology.cellCount()];
+        reset();
+    }
+
+    void reset() {
+        Arrays.fill(cells, HIDDEN);
+        flagsPlaced = 0;
+        revealed = 0;
+        moves = 0;
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * An automated player.
+ *
+ * Moves are packed into an int so choosing one allocates nothing: the cell
+ * index shifted left by one, with the low bit saying whether to reveal or to
+ * toggle a flag. Use {@link #reveal} and {@link #flag} to build them.
+ */
+public interface Player {
+    int REVEAL = 0;
+    int FLAG = 1;
+
+    static int reveal(int cell) {
+        return cell << 1 | REVEAL;
+    }
+
+    static int flag(int cell) {
+        return cell << 1 | FLAG;
+    }
+
+    static int cellOf(int move) {
+        return move >>> 1;
+    }
+
+    static int actionOf(int move) {
+        return move & 1;
+    }
+
+    /** Called before the first move of each game, with the observation that game will update. */
+    default void newGame(Observation observation) {}
+
+    int nextMove(Observation observation);
+}
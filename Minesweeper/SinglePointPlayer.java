@@ -0,0 +1,51 @@
+import java.util.Random;
+
+/**
+ * Reference bot: flags or clears around any number whose neighbourhood is
+ * already decided, and otherwise reveals a random hidden cell.
+ */
+final class SinglePointPlayer implements Player {
+    private final Random random;
+
+    SinglePointPlayer(long seed) {
+        random = new Random(seed);
+    }
+
+    @Override
+    public int nextMove(Observation obs) {
+        int[] cells = obs.cells;
+        if (obs.revealed == 0) {
+            return Player.reveal(obs.topology.index(obs.rows / 2, obs.cols / 2));
+        }
+
+        int[] start = obs.topology.start;
+        int[] neighbours = obs.topology.neighbours;
+        for (int cell = 0; cell < cells.length; cell++) {
+            int number = cells[cell];
+            if (number <= 0) continue;
+
+            int hidden = 0;
+            int flagged = 0;
+            int firstHidden = -1;
+            for (int k = start[cell]; k < start[cell + 1]; k++) {
+                int state = cells[neighbours[k]];
+                if (state == Observation.HIDDEN) {
+                    if (firstHidden < 0) firstHidden = neighbours[k];
+                    hidden++;
+                } else if (state == Observation.FLAGGED) {
+                    flagged++;
+                }
+            }
+            if (hidden == 0) continue;
+            if (flagged == number) return Player.reveal(firstHidden);
+            if (flagged + hidden == number) return Player.flag(firstHidden);
+        }
+
+        int hiddenLeft = cells.length - obs.revealed - obs.flagsPlaced;
+        int pick = random.nextInt(hiddenLeft);
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == Observation.HIDDEN && pick-- == 0) return Player.reveal(cell);
+        }
+        return Player.reveal(0);
+    }
+}
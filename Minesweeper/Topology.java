@@ -0,0 +1,119 @@
+import java.util.Arrays;
+
+/**
+ * Cell adjacency for a board addressed by flat index ({@code row * cols + col}).
+ *
+ * Neighbour lists are computed once and stored back to back, so walking the
+ * neighbours of a cell is a plain array scan with no bounds checks and no
+ * allocation:
+ *
+ * <pre>
+ * for (int k = topology.start[cell]; k &lt; topology.start[cell + 1]; k++) {
+ *     int n = topology.neighbours[k];
+ * }
+ * </pre>
+ */
+public final class Topology {
+    final int rows;
+    final int cols;
+    /** Offsets into {@link #neighbours}; cell i owns [start[i], start[i + 1]). */
+    final int[] start;
+    final int[] neighbours;
+    /** True when neighbours are exactly the touching squares of a plain grid, as the Swing view draws it. */
+    final boolean plainGrid;
+
+    private interface Adjacency {
+        /** Writes the neighbours of (r, c) into out and returns how many there are. */
+        int collect(int r, int c, int[] out);
+    }
+
+    private Topology(int rows, int cols, int maxDegree, boolean plainGrid, Adjacency adjacency) {
+        this.rows = rows;
+        this.cols = cols;
+        this.plainGrid = plainGrid;
+        int cells = rows * cols;
+        start = new int[cells + 1];
+        int[] table = new int[cells * maxDegree];
+        int[] scratch = new int[maxDegree + 1];
+        int size = 0;
+        for (int i = 0; i < cells; i++) {
+            start[i] = size;
+            int n = adjacency.collect(i / cols, i % cols, scratch);
+            for (int k = 0; k < n; k++) {
+                int cell = scratch[k];
+                if (cell == i || contains(table, start[i], size, cell)) continue;
+                table[size++] = cell;
+            }
+        }
+        start[cells] = size;
+        neighbours = Arrays.copyOf(table, size);
+    }
+
+    /** Standard board: up to eight neighbours, edges and corners have fewer. */
+    public static Topology square(int rows, int cols) {
+        return new Topology(rows, cols, 8, true, (r, c, out) -> {
+            int n = 0;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = r + dr;
+                    int nc = c + dc;
+                    if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+                        out[n++] = nr * cols + nc;
+                    }
+                }
+            }
+            return n;
+        });
+    }
+
+    /** Square board whose edges wrap around, so every cell has eight neighbours. */
+    public static Topology torus(int rows, int cols) {
+        return new Topology(rows, cols, 8, false, (r, c, out) -> {
+            int n = 0;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int nr = (r + dr + rows) % rows;
+                    int nc = (c + dc + cols) % cols;
+                    out[n++] = nr * cols + nc;
+                }
+            }
+            return n;
+        });
+    }
+
+    /** Hexagonal board in "odd-r" layout: odd rows are shifted half a cell right. */
+    public static Topology hex(int rows, int cols) {
+        return new Topology(rows, cols, 6, false, (r, c, out) -> {
+            int shift = (r & 1) == 0 ? -1 : 0;
+            int[][] offsets = {
+                {0, -1}, {0, 1},
+                {-1, shift}, {-1, shift + 1},
+                {1, shift}, {1, shift + 1}
+            };
+            int n = 0;
+            for (int[] d : offsets) {
+                int nr = r + d[0];
+                int nc = c + d[1];
+                if (nr >= 0 && nr < rows && nc >= 0 && nc < cols) {
+                    out[n++] = nr * cols + nc;
+                }
+            }
+            return n;
+        });
+    }
+
+    int cellCount() {
+        return rows * cols;
+    }
+
+    int index(int r, int c) {
+        return r * cols + c;
+    }
+
+    private static boolean contains(int[] table, int from, int to, int cell) {
+        for (int k = from; k < to; k++) {
+            if (table[k] == cell) return true;
+        }
+        return false;
+    }
+}